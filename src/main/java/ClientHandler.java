@@ -13,6 +13,10 @@ import java.util.stream.Collectors;
 
 
 public class ClientHandler implements Runnable{
+    private static final String INVALID_PHASE_MESSAGE = "You are not allowed to perform this action in your current Game-Phase";
+    private static final String ILLEGAL_PLAYER_MESSAGE = "Its not your turn to move";
+    private static final String ILLEGAL_MOVE_MESSAGE = "You are not allowed to move to/from this position";
+
     private final Socket clientSocket;
     private User user;
     private final Logger logger = LoggerFactory.getLogger(getClass());
@@ -127,35 +131,68 @@ public class ClientHandler implements Runnable{
 
         if (game !=null) {
             synchronized (game) {
+                //the rule engine only runs in shadow mode, the game decides and any disagreement is logged
+                RuleEngine ruleEngine = Main.isShadowRuleEngine() ? Main.getRuleEngines().get(game.getPlayer1().getUser()) : null;
+                RuleEngine.Result engineResult = null;
+                if (ruleEngine != null) {
+                    ruleEngine.mark();
+                    engineResult = applyToRuleEngine(ruleEngine, gameAction, self, game);
+                }
+
                 String message = "";
-                switch (gameAction.getType()) {
-                    case PLACE -> {
-                        try {
-                            game.placeStone(self, gameAction.getPlaceOrTakeCoordinate());
-                        } catch (GameException e) {
-                            message = getGameExceptionMessage(e);
-                        }
-                    }
-                    case MOVE -> {
-                        try {
-                            game.moveStone(self, gameAction.getFrom(), gameAction.getTo());
-                        } catch (GameException e) {
-                            message = getGameExceptionMessage(e);
-                        }
-                    }
-                    case TAKE -> {
-                        try {
-                            game.takeStone(self, gameAction.getPlaceOrTakeCoordinate());
-                        } catch (GameException e) {
-                            message = getGameExceptionMessage(e);
-                        }
+                RuleEngine.Result gameResult = RuleEngine.Result.OK;
+                try {
+                    switch (gameAction.getType()) {
+                        case PLACE -> game.placeStone(self, gameAction.getPlaceOrTakeCoordinate());
+                        case MOVE -> game.moveStone(self, gameAction.getFrom(), gameAction.getTo());
+                        case TAKE -> game.takeStone(self, gameAction.getPlaceOrTakeCoordinate());
                     }
+                } catch (GameException e) {
+                    message = getGameExceptionMessage(e);
+                    gameResult = RuleEngine.Result.of(e);
+                }
+
+                if (ruleEngine != null) {
+                    compareWithRuleEngine(ruleEngine, engineResult, gameResult, gameAction, game);
                 }
                 sendGameResponseToBothPlayers(message,game);
             }
         }
     }
 
+    private RuleEngine.Result applyToRuleEngine(RuleEngine ruleEngine, GameAction gameAction, Player self, Game game) {
+        int side = self.equals(game.getPlayer1()) ? 0 : 1;
+        return switch (gameAction.getType()) {
+            case PLACE -> ruleEngine.place(side, RuleEngine.toPoint(gameAction.getPlaceOrTakeCoordinate()));
+            case MOVE -> ruleEngine.move(side, RuleEngine.toPoint(gameAction.getFrom()), RuleEngine.toPoint(gameAction.getTo()));
+            case TAKE -> ruleEngine.take(side, RuleEngine.toPoint(gameAction.getPlaceOrTakeCoordinate()));
+            default -> RuleEngine.Result.INVALID_PHASE;
+        };
+    }
+
+    /**
+     * compares the outcome of an action on the game with the one on its rule engine, the engine is reset if it accepted an action the game rejected,
+     * and dropped for the rest of the game if it can no longer follow the game
+     */
+    private void compareWithRuleEngine(RuleEngine ruleEngine, RuleEngine.Result engineResult, RuleEngine.Result gameResult, GameAction gameAction, Game game) {
+        if (engineResult == RuleEngine.Result.OK && gameResult != RuleEngine.Result.OK) {
+            logger.warn("rule engine accepted a {} action the game rejected with {}, restoring its state", gameAction.getType(), gameResult);
+            ruleEngine.reset();
+        } else if (engineResult != RuleEngine.Result.OK && gameResult == RuleEngine.Result.OK) {
+            logger.warn("rule engine rejected a {} action with {} the game accepted, disabling it for this game", gameAction.getType(), engineResult);
+            Main.getRuleEngines().remove(game.getPlayer1().getUser());
+            return;
+        } else if (engineResult != gameResult) {
+            logger.warn("rule engine rejected a {} action with {}, the game with {}", gameAction.getType(), engineResult, gameResult);
+        }
+
+        boolean player1ToMove = game.getNextPlayerToMove().equals(game.getPlayer1());
+        if ((ruleEngine.getSideToMove() == 0) != player1ToMove || ruleEngine.isNextOperationTake() != game.isNextOperationTake()) {
+            logger.warn("rule engine is out of sync with the game after a {} action, disabling it for this game", gameAction.getType());
+            Main.getRuleEngines().remove(game.getPlayer1().getUser());
+        }
+    }
+
     private void handleRegisterLoginUserAction(RegisterLoginUserAction registerLoginUserAction) throws IOException {
         logger.debug("handling registerLoginUser action");
         if (getGame() == null) {
@@ -272,6 +309,9 @@ public class ClientHandler implements Runnable{
                     }
                     Game game = new Game(selfPlayer, otherPlayer);
                     Main.getGames().add(game);
+                    if (Main.isShadowRuleEngine()) {
+                        Main.getRuleEngines().put(game.getPlayer1().getUser(), new RuleEngine(game.getNextPlayerToMove().equals(game.getPlayer1()) ? 0 : 1));
+                    }
 
                     //removing players from waiting status
                     Main.getWaitingUsers().remove(selfUser);
@@ -323,11 +363,11 @@ public class ClientHandler implements Runnable{
 
     private String getGameExceptionMessage(GameException e) {
         if (e instanceof InvalidPhaseException) {
-            return "You are not allowed to perform this action in your current Game-Phase";
+            return INVALID_PHASE_MESSAGE;
         } else if (e instanceof IllegalPlayerException) {
-            return "Its not your turn to move";
+            return ILLEGAL_PLAYER_MESSAGE;
         } else if (e instanceof IllegalMoveException) {
-            return  "You are not allowed to move to/from this position";
+            return ILLEGAL_MOVE_MESSAGE;
         } else return "An unknown GameException occurred";
     }
     private ActionType getNextAction(Game game) {
@@ -402,6 +442,7 @@ public class ClientHandler implements Runnable{
                     Main.getWaitingUsers().add(player2.getUser());
 
                     Main.getGames().remove(game);
+                    Main.getRuleEngines().remove(game.getPlayer1().getUser());
 
                     EndGameResponse endGameResponse = new EndGameResponse(self.getUser(), "Spieler " + self.getName() + " hat das Spiel beendet");
                     sendResponse(player1.getUser(), endGameResponse);
@@ -439,6 +480,7 @@ public class ClientHandler implements Runnable{
                     Main.getWaitingUsers().add(remainingPlayer.getUser());
 
                     Main.getGames().remove(game);
+                    Main.getRuleEngines().remove(game.getPlayer1().getUser());
 
                     EndGameResponse endGameResponse = new EndGameResponse(getUser(), "Spieler " + getUser().getName() + " hat das Spiel beendet");
                     sendResponse(remainingPlayer.getUser(), endGameResponse);
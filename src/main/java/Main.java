@@ -10,6 +10,7 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 public class Main {
@@ -17,6 +18,9 @@ public class Main {
     private static final  List<Game> GAMES = Collections.synchronizedList(new ArrayList<>());
     private static final List<User> WAITING_USERS = Collections.synchronizedList(new ArrayList<>());
     private static final Map<User,User> REQUESTED_PAIRS = Collections.synchronizedMap(new HashMap<>());
+    private static final Map<User,RuleEngine> RULE_ENGINES = new ConcurrentHashMap<>();
+    //enabled by starting the server with -DshadowRuleEngine=true
+    private static final boolean SHADOW_RULE_ENGINE = Boolean.getBoolean("shadowRuleEngine");
 
     public static void main(String[] args) throws IOException {
 
@@ -54,6 +58,21 @@ public class Main {
         return REQUESTED_PAIRS;
     }
 
+    /**
+     * the first player of every running game is key, the engine checking its actions is value.
+     * a user is in at most one game at a time, so the key identifies the game without locking all games on every action
+     */
+    public static Map<User, RuleEngine> getRuleEngines() {
+        return RULE_ENGINES;
+    }
+
+    /**
+     * whether every game action is checked by a {@link RuleEngine} next to the game, which still decides, and any disagreement is logged
+     */
+    public static boolean isShadowRuleEngine() {
+        return SHADOW_RULE_ENGINE;
+    }
+
     public static DatabaseHandler getDatabaseHandler() {
         return databaseHandler;
     }
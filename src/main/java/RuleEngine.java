@@ -0,0 +1,280 @@
+import logic.entities.Coordinate;
+import logic.exceptions.*;
+
+/**
+ * a server side rules engine for a single game, working on a packed board instead of the object graph of {@link logic.entities.Game}.
+ * the 24 points are numbered ring * 8 + position, where the positions of a ring go clockwise starting at the top left corner.
+ * every side is stored as a bitmask of its occupied points, adjacency and mills are precomputed once, so validating and applying
+ * an action neither allocates nor throws, the outcome is reported as a {@link Result} instead.
+ * the game is lost by a side which is left with less than three stones or which cannot move when it is its turn,
+ * after that every action is rejected as {@link Result#INVALID_PHASE}
+ */
+public class RuleEngine {
+    public enum Result {
+        OK,
+        ILLEGAL_PLAYER,
+        INVALID_PHASE,
+        ILLEGAL_MOVE,
+        UNKNOWN;
+
+        /**
+         * @return the result corresponding to the exception {@link logic.entities.Game} throws for an action
+         */
+        public static Result of(GameException e) {
+            if (e instanceof InvalidPhaseException) {
+                return INVALID_PHASE;
+            } else if (e instanceof IllegalPlayerException) {
+                return ILLEGAL_PLAYER;
+            } else if (e instanceof IllegalMoveException) {
+                return ILLEGAL_MOVE;
+            } else return UNKNOWN;
+        }
+    }
+
+    public static final int POINTS = 24;
+    private static final int STONES_PER_PLAYER = 9;
+    private static final int FLYING_STONES = 3;
+
+    private static final int[] ADJACENT = new int[POINTS];
+    private static final int[] MILLS = new int[16];
+    //every point is part of exactly two mills
+    private static final int[][] MILLS_BY_POINT = new int[POINTS][2];
+    //maps x + 3 * y of a ring to the position on that ring, -1 is the unused center
+    private static final int[] POSITION_BY_XY = {0, 1, 2, 7, -1, 3, 6, 5, 4};
+
+    static {
+        int mill = 0;
+        for (int ring = 0; ring < 3; ring++) {
+            for (int position = 0; position < 8; position++) {
+                int point = ring * 8 + position;
+                ADJACENT[point] |= bit(ring * 8 + (position + 1) % 8) | bit(ring * 8 + (position + 7) % 8);
+                if (position % 2 == 1) {
+                    //the middle points of a side are connected to the neighbouring rings
+                    if (ring > 0) ADJACENT[point] |= bit(point - 8);
+                    if (ring < 2) ADJACENT[point] |= bit(point + 8);
+                } else {
+                    //mills along the sides of a ring, each starting at a corner
+                    MILLS[mill++] = bit(point) | bit(ring * 8 + position + 1) | bit(ring * 8 + (position + 2) % 8);
+                }
+            }
+        }
+        for (int position = 1; position < 8; position += 2) {
+            //mills across the rings
+            MILLS[mill++] = bit(position) | bit(position + 8) | bit(position + 16);
+        }
+        int[] found = new int[POINTS];
+        for (int millMask : MILLS) {
+            for (int point = 0; point < POINTS; point++) {
+                if ((millMask & bit(point)) != 0) {
+                    MILLS_BY_POINT[point][found[point]++] = millMask;
+                }
+            }
+        }
+    }
+
+    private final int[] board = new int[2];
+    private final int[] stonesInHand = {STONES_PER_PLAYER, STONES_PER_PLAYER};
+    private int sideToMove;
+    private boolean nextOperationTake;
+    private int winner = -1;
+
+    //the state saved by mark(), kept in fields so that resetting does not allocate
+    private final int[] markedBoard = new int[2];
+    private final int[] markedStonesInHand = new int[2];
+    private int markedSideToMove;
+    private boolean markedNextOperationTake;
+    private int markedWinner;
+
+    /**
+     * @param firstSide the side which places the first stone, either 0 or 1
+     */
+    public RuleEngine(int firstSide) {
+        if (firstSide != 0 && firstSide != 1) {
+            throw new IllegalArgumentException();
+        }
+        this.sideToMove = firstSide;
+        mark();
+    }
+
+    /**
+     * creates an engine in an arbitrary position, only meant for tests
+     */
+    static RuleEngine of(int sideToMove, int stones0, int stones1, int stonesInHand0, int stonesInHand1) {
+        RuleEngine ruleEngine = new RuleEngine(sideToMove);
+        ruleEngine.board[0] = stones0;
+        ruleEngine.board[1] = stones1;
+        ruleEngine.stonesInHand[0] = stonesInHand0;
+        ruleEngine.stonesInHand[1] = stonesInHand1;
+        ruleEngine.mark();
+        return ruleEngine;
+    }
+
+    private static int bit(int point) {
+        return 1 << point;
+    }
+
+    /**
+     * @return the point of the coordinate or -1 if it is not on the board
+     */
+    public static int toPoint(Coordinate coordinate) {
+        if (coordinate == null) return -1;
+        int x = coordinate.getX();
+        int y = coordinate.getY();
+        int z = coordinate.getZ();
+        if (x < 0 || x > 2 || y < 0 || y > 2 || z < 0 || z > 2) return -1;
+        int position = POSITION_BY_XY[x + 3 * y];
+        return position < 0 ? -1 : z * 8 + position;
+    }
+
+    public Result place(int side, int point) {
+        if (isGameOver()) return Result.INVALID_PHASE;
+        if (side != sideToMove) return Result.ILLEGAL_PLAYER;
+        if (nextOperationTake || stonesInHand[side] == 0) return Result.INVALID_PHASE;
+        if (!isOnBoard(point) || !isEmpty(point)) return Result.ILLEGAL_MOVE;
+
+        stonesInHand[side]--;
+        board[side] |= bit(point);
+        finishMove(side, point);
+        return Result.OK;
+    }
+
+    public Result move(int side, int from, int to) {
+        if (isGameOver()) return Result.INVALID_PHASE;
+        if (side != sideToMove) return Result.ILLEGAL_PLAYER;
+        if (nextOperationTake || stonesInHand[side] > 0) return Result.INVALID_PHASE;
+        if (!isOnBoard(from) || !isOnBoard(to)) return Result.ILLEGAL_MOVE;
+        if ((board[side] & bit(from)) == 0 || !isEmpty(to)) return Result.ILLEGAL_MOVE;
+        if (!isFlying(side) && (ADJACENT[from] & bit(to)) == 0) return Result.ILLEGAL_MOVE;
+
+        board[side] = (board[side] & ~bit(from)) | bit(to);
+        finishMove(side, to);
+        return Result.OK;
+    }
+
+    public Result take(int side, int point) {
+        if (isGameOver()) return Result.INVALID_PHASE;
+        if (side != sideToMove) return Result.ILLEGAL_PLAYER;
+        if (!nextOperationTake) return Result.INVALID_PHASE;
+        int other = 1 - side;
+        if (!isOnBoard(point) || (board[other] & bit(point)) == 0) return Result.ILLEGAL_MOVE;
+        //stones in a mill are protected, unless every stone of the opponent is in one
+        if (isInMill(other, point) && !allInMills(other)) return Result.ILLEGAL_MOVE;
+
+        board[other] &= ~bit(point);
+        nextOperationTake = false;
+        passTurn(side);
+        return Result.OK;
+    }
+
+    private void finishMove(int side, int point) {
+        if (isInMill(side, point) && board[1 - side] != 0) {
+            nextOperationTake = true;
+        } else {
+            passTurn(side);
+        }
+    }
+
+    private void passTurn(int side) {
+        int other = 1 - side;
+        sideToMove = other;
+        if (stonesInHand[other] + Integer.bitCount(board[other]) < FLYING_STONES || !canMove(other)) {
+            winner = side;
+        }
+    }
+
+    private boolean canMove(int side) {
+        if (stonesInHand[side] > 0 || isFlying(side)) {
+            //there are at most 18 stones on the board, so there is always an empty point left
+            return true;
+        }
+        int empty = ~(board[0] | board[1]);
+        int stones = board[side];
+        for (int point = 0; point < POINTS; point++) {
+            if ((stones & bit(point)) != 0 && (ADJACENT[point] & empty) != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * saves the current state, so that it can be restored by {@link #reset()}
+     */
+    public void mark() {
+        markedBoard[0] = board[0];
+        markedBoard[1] = board[1];
+        markedStonesInHand[0] = stonesInHand[0];
+        markedStonesInHand[1] = stonesInHand[1];
+        markedSideToMove = sideToMove;
+        markedNextOperationTake = nextOperationTake;
+        markedWinner = winner;
+    }
+
+    /**
+     * restores the state saved by the last call of {@link #mark()}
+     */
+    public void reset() {
+        board[0] = markedBoard[0];
+        board[1] = markedBoard[1];
+        stonesInHand[0] = markedStonesInHand[0];
+        stonesInHand[1] = markedStonesInHand[1];
+        sideToMove = markedSideToMove;
+        nextOperationTake = markedNextOperationTake;
+        winner = markedWinner;
+    }
+
+    private static boolean isOnBoard(int point) {
+        return point >= 0 && point < POINTS;
+    }
+
+    private boolean isEmpty(int point) {
+        return ((board[0] | board[1]) & bit(point)) == 0;
+    }
+
+    private boolean isInMill(int side, int point) {
+        int stones = board[side];
+        int[] mills = MILLS_BY_POINT[point];
+        return (stones & mills[0]) == mills[0] || (stones & mills[1]) == mills[1];
+    }
+
+    private boolean allInMills(int side) {
+        int stones = board[side];
+        int inMills = 0;
+        for (int mill : MILLS) {
+            if ((stones & mill) == mill) inMills |= mill;
+        }
+        return inMills == stones;
+    }
+
+    private boolean isFlying(int side) {
+        return stonesInHand[side] == 0 && Integer.bitCount(board[side]) == FLYING_STONES;
+    }
+
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    public boolean isNextOperationTake() {
+        return nextOperationTake;
+    }
+
+    public boolean isGameOver() {
+        return winner >= 0;
+    }
+
+    /**
+     * @return the side which has won or -1 if the game is still running
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    public int getStonesInHand(int side) {
+        return stonesInHand[side];
+    }
+
+    /**
+     * @return the bitmask of the points occupied by the side
+     */
+    public int getStones(int side) {
+        return board[side];
+    }
+}
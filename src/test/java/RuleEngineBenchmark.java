@@ -0,0 +1,121 @@
+import logic.entities.Coordinate;
+import logic.entities.Game;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * measures how many actions per second the {@link RuleEngine} and the {@link Game} validate, replaying the same recorded random games on both.
+ * it is excluded from the regular build, run it with {@code ./gradlew benchmark}
+ */
+@Tag("benchmark")
+class RuleEngineBenchmark {
+    private static final int GAMES = 100;
+    private static final int MAX_ACTIONS_PER_GAME = 3000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 20;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    /**
+     * @return the actions of every game, recorded by playing random games on the rule engine with side 0 beginning
+     */
+    private static int[][][] recordGames() {
+        Random random = new Random(26);
+        int[][][] games = new int[GAMES][][];
+        for (int i = 0; i < GAMES; i++) {
+            RuleEngine ruleEngine = new RuleEngine(0);
+            List<int[]> actions = new ArrayList<>();
+            for (int j = 0; j < MAX_ACTIONS_PER_GAME && !ruleEngine.isGameOver(); j++) {
+                int[] action = RuleEngineTestSupport.randomAction(random, ruleEngine);
+                RuleEngineTestSupport.apply(ruleEngine, action);
+                actions.add(action);
+            }
+            games[i] = actions.toArray(new int[0][]);
+        }
+        return games;
+    }
+
+    private static long replayOnRuleEngines(int[][][] games, RuleEngine[] ruleEngines) {
+        long accepted = 0;
+        for (int i = 0; i < games.length; i++) {
+            for (int[] action : games[i]) {
+                if (RuleEngineTestSupport.apply(ruleEngines[i], action) == RuleEngine.Result.OK) accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * @param actions the recorded actions with the sides already swapped where the game lets side 1 begin
+     */
+    private static long replayOnGames(int[][][] actions, Game[] games, Coordinate[][] coordinates) {
+        long accepted = 0;
+        for (int i = 0; i < actions.length; i++) {
+            for (int[] action : actions[i]) {
+                if (RuleEngineTestSupport.apply(games[i], coordinates[i], action) == RuleEngine.Result.OK) accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    @Test
+    void actionsValidatedPerSecond() {
+        int[][][] recordedGames = recordGames();
+        long actions = 0;
+        for (int[][] recordedGame : recordedGames) {
+            actions += recordedGame.length;
+        }
+
+        long ruleEngineNanos = 0;
+        long gameNanos = 0;
+        long acceptedByRuleEngine = 0;
+        long acceptedByGame = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + ROUNDS; round++) {
+            //everything is set up before timing, so only validating and applying the actions is measured
+            RuleEngine[] ruleEngines = new RuleEngine[GAMES];
+            Game[] games = new Game[GAMES];
+            Coordinate[][] coordinates = new Coordinate[GAMES][];
+            int[][][] gameActions = new int[GAMES][][];
+            for (int i = 0; i < GAMES; i++) {
+                ruleEngines[i] = new RuleEngine(0);
+                games[i] = RuleEngineTestSupport.newGame();
+                coordinates[i] = RuleEngineTestSupport.getCoordinates(games[i]);
+                int firstSide = RuleEngineTestSupport.getSide(games[i], games[i].getNextPlayerToMove());
+                gameActions[i] = new int[recordedGames[i].length][];
+                for (int j = 0; j < recordedGames[i].length; j++) {
+                    int[] action = recordedGames[i][j];
+                    gameActions[i][j] = new int[]{action[0], action[1] ^ firstSide, action[2], action[3]};
+                }
+            }
+
+            long start = System.nanoTime();
+            long accepted = replayOnRuleEngines(recordedGames, ruleEngines);
+            long ruleEngineRound = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long acceptedOnGames = replayOnGames(gameActions, games, coordinates);
+            long gameRound = System.nanoTime() - start;
+
+            if (round >= WARMUP_ROUNDS) {
+                ruleEngineNanos += ruleEngineRound;
+                gameNanos += gameRound;
+                acceptedByRuleEngine += accepted;
+                acceptedByGame += acceptedOnGames;
+            }
+        }
+
+        logger.info("replayed {} actions {} times", actions, ROUNDS);
+        logger.info("rule engine: {} actions per second, {} accepted", String.format("%.0f", actions * ROUNDS * 1e9 / ruleEngineNanos), acceptedByRuleEngine);
+        logger.info("game: {} actions per second, {} accepted", String.format("%.0f", actions * ROUNDS * 1e9 / gameNanos), acceptedByGame);
+        //once both disagree on an action the rest of the replay does different work, and the comparison means nothing
+        assertEquals(acceptedByRuleEngine, acceptedByGame);
+    }
+}
@@ -0,0 +1,66 @@
+import logic.entities.Coordinate;
+import logic.entities.Game;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * plays seeded random games on a {@link Game} and a {@link RuleEngine} side by side, including illegal actions, and checks that both agree
+ */
+class RuleEngineDifferentialTest {
+    private static final int GAMES = 200;
+    private static final int MAX_ACTIONS_PER_GAME = 3000;
+    private static final int ACTIONS_AFTER_GAME_OVER = 20;
+
+    private static void assertAgree(Game game, Coordinate[] coordinates, RuleEngine ruleEngine, int[] action, String description) {
+        RuleEngine.Result engineResult = RuleEngineTestSupport.apply(ruleEngine, action);
+        RuleEngine.Result gameResult = RuleEngineTestSupport.apply(game, coordinates, action);
+
+        assertEquals(gameResult, engineResult, description);
+        assertEquals(RuleEngineTestSupport.getSide(game, game.getNextPlayerToMove()), ruleEngine.getSideToMove(), description);
+        assertEquals(game.isNextOperationTake(), ruleEngine.isNextOperationTake(), description);
+    }
+
+    @Test
+    void everyFieldNodeIsMappedToADistinctPoint() {
+        Coordinate[] coordinates = RuleEngineTestSupport.getCoordinates(RuleEngineTestSupport.newGame());
+
+        for (int point = 0; point < RuleEngine.POINTS; point++) {
+            assertNotNull(coordinates[point], "no field node is mapped to point " + point);
+        }
+    }
+
+    @Test
+    void ruleEngineAgreesWithGame() {
+        Random random = new Random(26);
+        int finishedGames = 0;
+
+        for (int i = 0; i < GAMES; i++) {
+            Game game = RuleEngineTestSupport.newGame();
+            Coordinate[] coordinates = RuleEngineTestSupport.getCoordinates(game);
+            RuleEngine ruleEngine = new RuleEngine(RuleEngineTestSupport.getSide(game, game.getNextPlayerToMove()));
+
+            for (int j = 0; j < MAX_ACTIONS_PER_GAME && !ruleEngine.isGameOver(); j++) {
+                int[] action = RuleEngineTestSupport.randomAction(random, ruleEngine);
+                assertAgree(game, coordinates, ruleEngine, action, "game " + i + ", action " + j + " " + RuleEngineTestSupport.describe(action));
+            }
+
+            if (ruleEngine.isGameOver()) {
+                finishedGames++;
+                //the game has to refuse every action the loser could still make on the board
+                int loser = 1 - ruleEngine.getWinner();
+                for (int[] action : RuleEngineTestSupport.boardActions(ruleEngine, loser)) {
+                    assertNotEquals(RuleEngine.Result.OK, RuleEngineTestSupport.apply(game, coordinates, action),
+                            "game " + i + " accepted " + RuleEngineTestSupport.describe(action) + " after side " + loser + " has lost");
+                }
+                for (int j = 0; j < ACTIONS_AFTER_GAME_OVER; j++) {
+                    int[] action = RuleEngineTestSupport.randomAction(random, ruleEngine);
+                    assertAgree(game, coordinates, ruleEngine, action, "game " + i + ", action " + j + " after the end " + RuleEngineTestSupport.describe(action));
+                }
+            }
+        }
+        assertTrue(finishedGames > 0, "no random game was played to its end");
+    }
+}
@@ -0,0 +1,166 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleEngineTest {
+
+    private static int mask(int... points) {
+        int mask = 0;
+        for (int point : points) {
+            mask |= 1 << point;
+        }
+        return mask;
+    }
+
+    @Test
+    void placeOnEmptyPointPassesTurn() {
+        RuleEngine ruleEngine = new RuleEngine(0);
+
+        assertEquals(RuleEngine.Result.OK, ruleEngine.place(0, 0));
+        assertEquals(1, ruleEngine.getSideToMove());
+        assertEquals(8, ruleEngine.getStonesInHand(0));
+        assertEquals(mask(0), ruleEngine.getStones(0));
+        assertFalse(ruleEngine.isNextOperationTake());
+    }
+
+    @Test
+    void placeRejectsOccupiedAndInvalidPoints() {
+        RuleEngine ruleEngine = new RuleEngine(0);
+        ruleEngine.place(0, 0);
+
+        assertEquals(RuleEngine.Result.ILLEGAL_MOVE, ruleEngine.place(1, 0));
+        assertEquals(RuleEngine.Result.ILLEGAL_MOVE, ruleEngine.place(1, -1));
+        assertEquals(RuleEngine.Result.ILLEGAL_MOVE, ruleEngine.place(1, RuleEngine.POINTS));
+        assertEquals(1, ruleEngine.getSideToMove());
+    }
+
+    @Test
+    void actionOfWrongSideIsRejected() {
+        RuleEngine ruleEngine = new RuleEngine(0);
+
+        assertEquals(RuleEngine.Result.ILLEGAL_PLAYER, ruleEngine.place(1, 0));
+        assertEquals(RuleEngine.Result.ILLEGAL_PLAYER, ruleEngine.move(1, 0, 1));
+        assertEquals(RuleEngine.Result.ILLEGAL_PLAYER, ruleEngine.take(1, 0));
+    }
+
+    @Test
+    void actionOfWrongPhaseIsRejected() {
+        RuleEngine placing = new RuleEngine(0);
+        assertEquals(RuleEngine.Result.INVALID_PHASE, placing.move(0, 0, 1));
+        assertEquals(RuleEngine.Result.INVALID_PHASE, placing.take(0, 0));
+
+        RuleEngine moving = RuleEngine.of(0, mask(0, 2, 12, 22), mask(4, 14, 19, 21), 0, 0);
+        assertEquals(RuleEngine.Result.INVALID_PHASE, moving.place(0, 1));
+
+        RuleEngine taking = RuleEngine.of(0, mask(0, 1), mask(8, 20), 5, 5);
+        taking.place(0, 2);
+        assertEquals(RuleEngine.Result.INVALID_PHASE, taking.place(0, 3));
+        assertEquals(RuleEngine.Result.INVALID_PHASE, taking.move(0, 2, 3));
+    }
+
+    @Test
+    void millAlongRingRequiresTake() {
+        RuleEngine ruleEngine = RuleEngine.of(0, mask(0, 1), mask(8, 20), 7, 7);
+
+        assertEquals(RuleEngine.Result.OK, ruleEngine.place(0, 2));
+        assertTrue(ruleEngine.isNextOperationTake());
+        assertEquals(0, ruleEngine.getSideToMove());
+    }
+
+    @Test
+    void millAcrossRingsRequiresTake() {
+        RuleEngine ruleEngine = RuleEngine.of(0, mask(1, 9), mask(8, 20), 7, 7);
+
+        assertEquals(RuleEngine.Result.OK, ruleEngine.place(0, 17));
+        assertTrue(ruleEngine.isNextOperationTake());
+    }
+
+    @Test
+    void cornersAcrossRingsAreNoMill() {
+        RuleEngine ruleEngine = RuleEngine.of(0, mask(0, 8), mask(1, 20), 7, 7);
+
+        assertEquals(RuleEngine.Result.OK, ruleEngine.place(0, 16));
+        assertFalse(ruleEngine.isNextOperationTake());
+        assertEquals(1, ruleEngine.getSideToMove());
+    }
+
+    @Test
+    void moveOnlyToAdjacentEmptyPoint() {
+        int white = mask(0, 1, 12, 22);
+        int black = mask(4, 14, 19, 21);
+
+        assertEquals(RuleEngine.Result.OK, RuleEngine.of(0, white, black, 0, 0).move(0, 1, 9));
+        assertEquals(RuleEngine.Result.OK, RuleEngine.of(0, white, black, 0, 0).move(0, 0, 7));
+        assertEquals(RuleEngine.Result.ILLEGAL_MOVE, RuleEngine.of(0, white, black, 0, 0).move(0, 0, 8));
+        assertEquals(RuleEngine.Result.ILLEGAL_MOVE, RuleEngine.of(0, white, black, 0, 0).move(0, 1, 3));
+        assertEquals(RuleEngine.Result.ILLEGAL_MOVE, RuleEngine.of(0, white, black, 0, 0).move(0, 1, 0));
+        assertEquals(RuleEngine.Result.ILLEGAL_MOVE, RuleEngine.of(0, white, black, 0, 0).move(0, 4, 3));
+    }
+
+    @Test
+    void flyingOnlyWithThreeStones() {
+        int black = mask(4, 14, 19, 21);
+
+        assertEquals(RuleEngine.Result.OK, RuleEngine.of(0, mask(0, 12, 22), black, 0, 0).move(0, 0, 5));
+        assertEquals(RuleEngine.Result.ILLEGAL_MOVE, RuleEngine.of(0, mask(0, 12, 17, 22), black, 0, 0).move(0, 0, 5));
+    }
+
+    @Test
+    void stoneInMillIsProtected() {
+        RuleEngine ruleEngine = RuleEngine.of(0, mask(0, 1), mask(8, 9, 10, 20), 5, 5);
+        ruleEngine.place(0, 2);
+
+        assertEquals(RuleEngine.Result.ILLEGAL_MOVE, ruleEngine.take(0, 9));
+        assertEquals(RuleEngine.Result.ILLEGAL_MOVE, ruleEngine.take(0, 3));
+        assertEquals(RuleEngine.Result.ILLEGAL_MOVE, ruleEngine.take(0, 0));
+        assertEquals(RuleEngine.Result.OK, ruleEngine.take(0, 20));
+        assertEquals(mask(8, 9, 10), ruleEngine.getStones(1));
+        assertFalse(ruleEngine.isNextOperationTake());
+        assertEquals(1, ruleEngine.getSideToMove());
+    }
+
+    @Test
+    void stoneInMillCanBeTakenIfAllStonesAreInMills() {
+        RuleEngine ruleEngine = RuleEngine.of(0, mask(0, 1), mask(8, 9, 10), 5, 5);
+        ruleEngine.place(0, 2);
+
+        assertEquals(RuleEngine.Result.OK, ruleEngine.take(0, 9));
+    }
+
+    @Test
+    void gameIsLostWithLessThanThreeStones() {
+        RuleEngine ruleEngine = RuleEngine.of(0, mask(0, 1, 3, 12), mask(4, 14, 21), 0, 0);
+
+        assertEquals(RuleEngine.Result.OK, ruleEngine.move(0, 3, 2));
+        assertEquals(RuleEngine.Result.OK, ruleEngine.take(0, 14));
+        assertTrue(ruleEngine.isGameOver());
+        assertEquals(0, ruleEngine.getWinner());
+        assertEquals(RuleEngine.Result.INVALID_PHASE, ruleEngine.move(1, 4, 5));
+        assertEquals(RuleEngine.Result.INVALID_PHASE, ruleEngine.place(1, 5));
+        assertEquals(RuleEngine.Result.INVALID_PHASE, ruleEngine.take(0, 4));
+    }
+
+    @Test
+    void gameIsLostIfNoMoveIsLeft() {
+        RuleEngine ruleEngine = RuleEngine.of(0, mask(1, 3, 5, 15), mask(0, 2, 4, 6), 0, 0);
+
+        assertEquals(RuleEngine.Result.OK, ruleEngine.move(0, 15, 7));
+        assertTrue(ruleEngine.isGameOver());
+        assertEquals(0, ruleEngine.getWinner());
+    }
+
+    @Test
+    void resetRestoresMarkedState() {
+        RuleEngine ruleEngine = RuleEngine.of(0, mask(0, 1), mask(8, 20), 7, 7);
+        ruleEngine.mark();
+        ruleEngine.place(0, 2);
+        ruleEngine.take(0, 20);
+
+        ruleEngine.reset();
+        assertEquals(mask(0, 1), ruleEngine.getStones(0));
+        assertEquals(mask(8, 20), ruleEngine.getStones(1));
+        assertEquals(7, ruleEngine.getStonesInHand(0));
+        assertEquals(0, ruleEngine.getSideToMove());
+        assertFalse(ruleEngine.isNextOperationTake());
+    }
+}
@@ -0,0 +1,126 @@
+import logic.entities.*;
+import logic.exceptions.GameException;
+import networking.entities.*;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * helpers for running the same actions on a {@link Game} and a {@link RuleEngine}, an action is stored as {type, side, from, to}
+ */
+final class RuleEngineTestSupport {
+
+    private RuleEngineTestSupport() {
+    }
+
+    static Game newGame() {
+        Player player1 = new Player(new User("player1", OutputStream.nullOutputStream()), StoneState.WHITE);
+        Player player2 = new Player(new User("player2", OutputStream.nullOutputStream()), StoneState.BLACK);
+        return new Game(player1, player2);
+    }
+
+    static int getSide(Game game, Player player) {
+        return player.equals(game.getPlayer1()) ? 0 : 1;
+    }
+
+    /**
+     * @return the coordinate of every point, taken from the field of the game
+     */
+    static Coordinate[] getCoordinates(Game game) {
+        Coordinate[] coordinates = new Coordinate[RuleEngine.POINTS];
+        for (var position : game.getField().nodes()) {
+            Coordinate coordinate = position.getCoordinate();
+            int point = RuleEngine.toPoint(coordinate);
+            assertTrue(point >= 0 && point < RuleEngine.POINTS, () -> "coordinate " + coordinate + " is not mapped to a point");
+            assertNull(coordinates[point], () -> "coordinate " + coordinate + " is mapped to the same point as " + coordinates[point]);
+            coordinates[point] = coordinate;
+        }
+        return coordinates;
+    }
+
+    /**
+     * @return a random point of the stones, or any random point if there are none
+     */
+    static int randomPoint(Random random, int stones) {
+        if (stones == 0) return random.nextInt(RuleEngine.POINTS);
+        int index = random.nextInt(Integer.bitCount(stones));
+        for (int point = 0; point < RuleEngine.POINTS; point++) {
+            if ((stones & 1 << point) != 0 && index-- == 0) return point;
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * @return a random action, mostly the kind of action the engine expects next but sometimes not
+     */
+    static int[] randomAction(Random random, RuleEngine ruleEngine) {
+        int side = random.nextInt(10) == 0 ? 1 - ruleEngine.getSideToMove() : ruleEngine.getSideToMove();
+        ActionType type;
+        if (random.nextInt(10) == 0) {
+            type = ActionType.values()[random.nextInt(ActionType.values().length)];
+        } else if (ruleEngine.isNextOperationTake()) {
+            type = ActionType.TAKE;
+        } else if (ruleEngine.getStonesInHand(side) > 0) {
+            type = ActionType.PLACE;
+        } else type = ActionType.MOVE;
+
+        int from = switch (type) {
+            case MOVE -> randomPoint(random, ruleEngine.getStones(side));
+            case TAKE -> randomPoint(random, ruleEngine.getStones(1 - side));
+            default -> random.nextInt(RuleEngine.POINTS);
+        };
+        return new int[]{type.ordinal(), side, from, random.nextInt(RuleEngine.POINTS)};
+    }
+
+    /**
+     * @return every PLACE onto an empty point and every MOVE of a stone of the side onto an empty point, ignoring adjacency and phase
+     */
+    static List<int[]> boardActions(RuleEngine ruleEngine, int side) {
+        int occupied = ruleEngine.getStones(0) | ruleEngine.getStones(1);
+        List<int[]> actions = new ArrayList<>();
+        for (int to = 0; to < RuleEngine.POINTS; to++) {
+            if ((occupied & 1 << to) != 0) continue;
+            actions.add(new int[]{ActionType.PLACE.ordinal(), side, to, to});
+            for (int from = 0; from < RuleEngine.POINTS; from++) {
+                if ((ruleEngine.getStones(side) & 1 << from) != 0) {
+                    actions.add(new int[]{ActionType.MOVE.ordinal(), side, from, to});
+                }
+            }
+        }
+        return actions;
+    }
+
+    static String describe(int[] action) {
+        return ActionType.values()[action[0]] + " by side " + action[1] + " on " + action[2] + "/" + action[3];
+    }
+
+    static RuleEngine.Result apply(RuleEngine ruleEngine, int[] action) {
+        return switch (ActionType.values()[action[0]]) {
+            case PLACE -> ruleEngine.place(action[1], action[2]);
+            case MOVE -> ruleEngine.move(action[1], action[2], action[3]);
+            case TAKE -> ruleEngine.take(action[1], action[2]);
+            default -> RuleEngine.Result.INVALID_PHASE;
+        };
+    }
+
+    static RuleEngine.Result apply(Game game, Coordinate[] coordinates, int[] action) {
+        Player player = action[1] == 0 ? game.getPlayer1() : game.getPlayer2();
+        try {
+            switch (ActionType.values()[action[0]]) {
+                case PLACE -> game.placeStone(player, coordinates[action[2]]);
+                case MOVE -> game.moveStone(player, coordinates[action[2]], coordinates[action[3]]);
+                case TAKE -> game.takeStone(player, coordinates[action[2]]);
+                default -> {
+                    return RuleEngine.Result.INVALID_PHASE;
+                }
+            }
+            return RuleEngine.Result.OK;
+        } catch (GameException e) {
+            return RuleEngine.Result.of(e);
+        }
+    }
+}